@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request of the packaged application.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Benchmarks the plain executable jar (mvn package) and, if present, the
+# fast-startup build (mvn -Pfast-startup package). Each run starts the
+# application, posts a malformed document until the endpoint rejects it with
+# 400 and reports the elapsed wall-clock time. The port can be changed with the
+# PORT variable and the per-run deadline in seconds with TIMEOUT.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT="${TIMEOUT:-60}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR_NAME="demo-0.0.1-SNAPSHOT.jar"
+
+# Prints the HTTP status of a malformed document POST, 000 if nothing answers
+probe() {
+    curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+        --data '{' "http://localhost:$PORT/api/documents" || true
+}
+
+# Starts the application with the given java arguments and prints milliseconds until the first response
+measure() {
+    local start deadline pid elapsed
+    # Any listener already on the port would answer the probe and fake a near-zero time
+    if (exec 3<> "/dev/tcp/localhost/$PORT") 2> /dev/null; then
+        echo "port $PORT is already in use" >&2
+        return 1
+    fi
+    start=$(date +%s%N)
+    deadline=$((start + TIMEOUT * 1000000000))
+    java "$@" --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+    # 400 means the request went through dispatching and JSON conversion of the documents endpoint
+    until [[ "$(probe)" == "400" ]]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before serving a request" >&2
+            return 1
+        fi
+        if (($(date +%s%N) > deadline)); then
+            echo "application did not serve a request within ${TIMEOUT}s" >&2
+            kill "$pid"
+            wait "$pid" 2> /dev/null || true
+            return 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+# Runs the measurement RUNS times and prints each run and the average
+benchmark() {
+    local label="$1" dir="$2" total=0 ms
+    shift 2
+    echo "$label"
+    for ((i = 1; i <= RUNS; i++)); do
+        ms=$(cd "$dir" && measure "$@")
+        total=$((total + ms))
+        echo "  run $i: ${ms} ms"
+    done
+    echo "  average: $((total / RUNS)) ms"
+}
+
+if [[ ! -f "$TARGET/$JAR_NAME" ]]; then
+    echo "$TARGET/$JAR_NAME not found, run mvn package first" >&2
+    exit 1
+fi
+
+benchmark "executable jar" "$TARGET" -jar "$JAR_NAME"
+
+if [[ -f "$TARGET/fast-startup/application.jsa" ]]; then
+    benchmark "fast-startup (AOT + AppCDS)" "$TARGET/fast-startup" \
+        -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=fast-startup -jar "$JAR_NAME"
+else
+    echo "fast-startup build not found, run mvn -Pfast-startup package to compare"
+fi
@@ -3,15 +3,20 @@ package com.example.demo;
 import com.example.demo.service.SentisquareAuthService;
 import com.example.demo.service.SentisquareClassifierService;
 import com.example.demo.service.SentisquareDocumentIndexService;
+import com.example.demo.service.TenantScheduler;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -22,6 +27,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
  * Controller for handling document-related API requests.
  * This class provides endpoints for receiving documents and processing them
  * using Sentisquare's classification services.
+ * Each request is processed with the configuration of the tenant selected by the X-Tenant-Id header.
  */
 @SpringBootApplication
 @RestController
@@ -50,6 +56,12 @@ public class DocumentController {
     @Autowired
     private SentisquareDocumentIndexService documentIndexService;
 
+    /**
+     * Scheduler sharing the processing capacity fairly across tenants
+     */
+    @Autowired
+    private TenantScheduler tenantScheduler;
+
 
     /**
      * Constructor for DocumentController.
@@ -73,8 +85,10 @@ public class DocumentController {
     /**
      * Endpoint to receive a document and classify its content.
      *
-     * @param doc the input document containing survey data
-     * @return an OutputDocument containing classified results and metadata
+     * @param doc      the input document containing survey data
+     * @param tenantId the ID of the tenant to process the document for, the default tenant if missing
+     * @return a future of the OutputDocument containing classified results and metadata,
+     * completed once the document has been processed in the tenant's fair turn
      */
     @PostMapping
     @Operation(
@@ -111,11 +125,30 @@ public class DocumentController {
                     )
             )
     )
-    public Map<String, Object> receive(@RequestBody InputDocument doc) {
+    public CompletableFuture<Map<String, Object>> receive(@RequestBody InputDocument doc,
+                                                          @Parameter(description = "Tenant (brand) to process the document for - the default tenant if omitted", example = "brand-a")
+                                                          @RequestHeader(value = "X-Tenant-Id", required = false) String tenantId) {
+
+        SentisquareProperties.Tenant tenant = sentisquareProperties.resolveTenant(tenantId);
+        if (tenant == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown tenant: " + tenantId);
+        }
+
+        return tenantScheduler.run(tenant, () -> process(tenant, doc));
+    }
+
+    /**
+     * Classifies the document and saves it to the tenant's index.
+     *
+     * @param tenant the resolved tenant to process the document for
+     * @param doc    the input document containing survey data
+     * @return a map containing the classified document and the index response
+     */
+    private Map<String, Object> process(SentisquareProperties.Tenant tenant, InputDocument doc) {
 
-        String token = oAuthService.getAccessToken();
-        String sentiment_alias = sentisquareProperties.getClassifierAliases().get("sentiment");
-        String topic_alias = sentisquareProperties.getClassifierAliases().get("topic");
+        String token = oAuthService.getAccessToken(tenant);
+        String sentiment_alias = tenant.getClassifierAliases().get("sentiment");
+        String topic_alias = tenant.getClassifierAliases().get("topic");
 
         // Classify sentiment and topics using Sentisquare API
         String sentiment = classifierService.classifySentiment(token, doc.getText(), sentiment_alias);
@@ -134,9 +167,9 @@ public class DocumentController {
             setTopics(topics);
         }};
 
-        // Save the OutputDocument to the specified index
-        String response = documentIndexService.saveDocumentToIndex(token, sentisquareProperties.getIndexAlias(), outputDoc);
-        System.out.println("Document indexed. Response: " + response);
+        // Save the OutputDocument to the tenant's index
+        String response = documentIndexService.saveDocumentToIndex(token, tenant.getIndexAlias(), outputDoc);
+        System.out.println("Document indexed for tenant " + tenant.getId() + ". Response: " + response);
 
         Map<String, Object> responseMap = new HashMap<>();
         responseMap.put("document", outputDoc);
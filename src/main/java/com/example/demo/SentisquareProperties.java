@@ -1,5 +1,6 @@
 package com.example.demo;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -47,6 +48,32 @@ public class SentisquareProperties {
      */
     private Map<String, String> classifierAliases;
 
+    /**
+     * Per-tenant configuration keyed by tenant ID - any field left unset falls back to the top-level value
+     */
+    private Map<String, Tenant> tenants = new HashMap<>();
+
+    /**
+     * Settings for the weighted fair queuing of requests across tenants
+     */
+    private Scheduler scheduler = new Scheduler();
+
+    /**
+     * Resolves the configuration of the given tenant, filling unset fields from the top-level values.
+     * A null or blank tenant ID selects the default tenant, which is built from the top-level values only.
+     *
+     * @param tenantId the tenant ID, may be null
+     * @return the resolved tenant, or null if no tenant with the given ID is configured
+     */
+    public Tenant resolveTenant(String tenantId) {
+        String id = tenantId == null || tenantId.isBlank() ? Tenant.DEFAULT_ID : tenantId;
+        Tenant tenant = tenants.get(id);
+        if (tenant == null) {
+            return Tenant.DEFAULT_ID.equals(id) ? new Tenant().withDefaults(id, this) : null;
+        }
+        return tenant.withDefaults(id, this);
+    }
+
     // Getters and setters
     public String getBaseUrl() {
         return baseUrl;
@@ -103,4 +130,186 @@ public class SentisquareProperties {
     public void setClassifierAliases(Map<String, String> classifierAliases) {
         this.classifierAliases = classifierAliases;
     }
+
+    public Map<String, Tenant> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Tenant> tenants) {
+        this.tenants = tenants;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Configuration of a single tenant (brand) served by this deployment.
+     */
+    public static class Tenant {
+
+        /**
+         * ID of the tenant used when a request does not select one
+         */
+        public static final String DEFAULT_ID = "default";
+
+        /**
+         * Tenant ID - filled in on resolution from the key in the tenants map
+         */
+        private String id;
+
+        /**
+         * OAuth2 client ID for API authentication
+         */
+        private String clientId;
+
+        /**
+         * OAuth2 client secret for API authentication
+         */
+        private String clientSecret;
+
+        /**
+         * Username for API access
+         */
+        private String username;
+
+        /**
+         * Password for API access
+         */
+        private String password;
+
+        /**
+         * Index alias for API operations
+         */
+        private String indexAlias;
+
+        /**
+         * Classifier aliases mapping - allows mapping of classifier names to different identifiers
+         */
+        private Map<String, String> classifierAliases;
+
+        /**
+         * Share of the processing capacity relative to other tenants
+         */
+        private int weight = 1;
+
+        /**
+         * Returns a copy of this tenant with the given ID and unset fields taken from the top-level properties.
+         *
+         * @param id       the tenant ID
+         * @param defaults the top-level Sentisquare properties
+         * @return the resolved tenant
+         */
+        Tenant withDefaults(String id, SentisquareProperties defaults) {
+            Tenant resolved = new Tenant();
+            resolved.id = id;
+            resolved.clientId = clientId != null ? clientId : defaults.getClientId();
+            resolved.clientSecret = clientSecret != null ? clientSecret : defaults.getClientSecret();
+            resolved.username = username != null ? username : defaults.getUsername();
+            resolved.password = password != null ? password : defaults.getPassword();
+            resolved.indexAlias = indexAlias != null ? indexAlias : defaults.getIndexAlias();
+            resolved.classifierAliases = classifierAliases != null ? classifierAliases : defaults.getClassifierAliases();
+            resolved.weight = Math.max(1, weight);
+            return resolved;
+        }
+
+        // Getters and setters
+        public String getId() {
+            return id;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        public void setClientId(String clientId) {
+            this.clientId = clientId;
+        }
+
+        public String getClientSecret() {
+            return clientSecret;
+        }
+
+        public void setClientSecret(String clientSecret) {
+            this.clientSecret = clientSecret;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getIndexAlias() {
+            return indexAlias;
+        }
+
+        public void setIndexAlias(String indexAlias) {
+            this.indexAlias = indexAlias;
+        }
+
+        public Map<String, String> getClassifierAliases() {
+            return classifierAliases;
+        }
+
+        public void setClassifierAliases(Map<String, String> classifierAliases) {
+            this.classifierAliases = classifierAliases;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Settings for scheduling document processing across tenants.
+     */
+    public static class Scheduler {
+
+        /**
+         * Number of documents processed concurrently across all tenants - defaults to Tomcat's maximum threads
+         */
+        private int workers = 200;
+
+        /**
+         * Maximum number of documents a single tenant may have waiting - further requests are rejected,
+         * defaults to Tomcat's maximum connections
+         */
+        private int maxQueuedPerTenant = 8192;
+
+        // Getters and setters
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxQueuedPerTenant() {
+            return maxQueuedPerTenant;
+        }
+
+        public void setMaxQueuedPerTenant(int maxQueuedPerTenant) {
+            this.maxQueuedPerTenant = maxQueuedPerTenant;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the fast-startup profile, which enables lazy initialization.
+ * Keeps every bean except springdoc/Swagger eager, so the work of serving documents
+ * stays in startup (and in the CDS training run) instead of moving into the first request.
+ */
+@Configuration
+@Profile("fast-startup")
+public class StartupConfig {
+
+        @Bean
+        public static LazyInitializationExcludeFilter nonSpringdocBeansExcludeFilter() {
+            return (beanName, beanDefinition, beanType) -> beanType == null
+                    || !beanType.getPackageName().startsWith("org.springdoc");
+        }
+}
@@ -2,6 +2,7 @@ package com.example.demo.service;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.example.demo.SentisquareProperties;
 import org.springframework.core.ParameterizedTypeReference;
@@ -16,6 +17,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 /**
  * Service for handling OAuth2 authentication with the Sentisquare API.
  * Manages access token retrieval, caching, and automatic refresh.
+ * Each tenant authenticates with its own credentials and has its own cached token.
  */
 @Service
 public class SentisquareAuthService {
@@ -31,14 +33,9 @@ public class SentisquareAuthService {
     private final SentisquareProperties props;
 
     /**
-     * Cached access token - volatile to ensure thread safety
+     * Cached tokens keyed by tenant ID
      */
-    private volatile String accessToken;
-
-    /**
-     * Token expiry time - volatile to ensure thread safety
-     */
-    private volatile Instant expiry;
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
 
 
     /**
@@ -53,24 +50,32 @@ public class SentisquareAuthService {
     }
 
     /**
-     * Returns a valid access token, refreshing it if necessary.
+     * Returns a valid access token of the given tenant, refreshing it if necessary.
      * This method is thread-safe and will refresh the token if it's null
-     * or expires within the next 30 seconds.
+     * or expires within the next 30 seconds. Refreshing one tenant's token
+     * does not block requests of other tenants.
      *
+     * @param tenant the resolved tenant whose credentials are used
      * @return a valid OAuth2 access token
      */
-    public synchronized String getAccessToken() {
-        if (accessToken == null || Instant.now().isAfter(expiry.minusSeconds(30))) {
-            refreshToken();
+    public String getAccessToken(SentisquareProperties.Tenant tenant) {
+        CachedToken token = tokens.computeIfAbsent(tenant.getId(), id -> new CachedToken());
+        synchronized (token) {
+            if (token.accessToken == null || Instant.now().isAfter(token.expiry.minusSeconds(30))) {
+                refreshToken(tenant, token);
+            }
+            return token.accessToken;
         }
-        return accessToken;
     }
 
     /**
      * Refreshes the OAuth2 access token by making a request to the token endpoint.
      * Uses the "password" grant type with client credentials.
+     *
+     * @param tenant the tenant whose credentials are used
+     * @param token  the cache entry to update
      */
-    private void refreshToken() {
+    private void refreshToken(SentisquareProperties.Tenant tenant, CachedToken token) {
         // Construct the token endpoint URL
         String tokenEndpoint = props.getBaseUrl()
                 + "/auth/realms/sentisquare/protocol/openid-connect/token";
@@ -78,10 +83,10 @@ public class SentisquareAuthService {
         // Prepare form data for the token request
         MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
         form.add("grant_type", "password");
-        form.add("username", props.getUsername());
-        form.add("password", props.getPassword());
-        form.add("client_id", props.getClientId());
-        form.add("client_secret", props.getClientSecret());
+        form.add("username", tenant.getUsername());
+        form.add("password", tenant.getPassword());
+        form.add("client_id", tenant.getClientId());
+        form.add("client_secret", tenant.getClientSecret());
 
         Map<String, Object> response = webClient.post()
                 .uri(tokenEndpoint)
@@ -93,8 +98,24 @@ public class SentisquareAuthService {
                 .block();
 
         // Extract token and expiry from the response
-        this.accessToken = (String) response.get("access_token");
+        token.accessToken = (String) response.get("access_token");
         int expiresIn = ((Number) response.get("expires_in")).intValue();
-        this.expiry = Instant.now().plusSeconds(expiresIn);
+        token.expiry = Instant.now().plusSeconds(expiresIn);
+    }
+
+    /**
+     * Cached access token of a single tenant, guarded by its own monitor.
+     */
+    private static final class CachedToken {
+
+        /**
+         * Cached access token
+         */
+        private String accessToken;
+
+        /**
+         * Token expiry time
+         */
+        private Instant expiry;
     }
 }
@@ -0,0 +1,197 @@
+package com.example.demo.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import com.example.demo.SentisquareProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+
+/**
+ * Service for scheduling document processing across tenants using weighted fair queuing.
+ * Every task gets a virtual finish time based on its tenant's weight, and a fixed pool
+ * of workers always runs the waiting task with the lowest one. A burst from one tenant
+ * therefore only delays that tenant's own tasks, while other tenants keep their share.
+ * Callers get a future instead of waiting, so queued documents do not hold servlet threads.
+ */
+@Service
+public class TenantScheduler {
+
+    /**
+     * Worker threads processing the scheduled tasks
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Maximum number of waiting tasks per tenant
+     */
+    private final int maxQueuedPerTenant;
+
+    /**
+     * Waiting tasks ordered by virtual finish time - guarded by this
+     */
+    private final PriorityQueue<ScheduledTask> pending = new PriorityQueue<>();
+
+    /**
+     * Virtual finish time of the last task enqueued by each tenant - guarded by this
+     */
+    private final Map<String, Double> lastFinish = new HashMap<>();
+
+    /**
+     * Number of waiting tasks of each tenant - guarded by this
+     */
+    private final Map<String, Integer> queued = new HashMap<>();
+
+    /**
+     * Virtual time - the finish time of the task started most recently, guarded by this
+     */
+    private double virtualTime;
+
+    /**
+     * Sequence number breaking ties between equal finish times in FIFO order, guarded by this
+     */
+    private long sequence;
+
+
+    /**
+     * Constructor for TenantScheduler.
+     *
+     * @param props Sentisquare configuration properties
+     */
+    public TenantScheduler(SentisquareProperties props) {
+        this.workers = Executors.newFixedThreadPool(Math.max(1, props.getScheduler().getWorkers()));
+        this.maxQueuedPerTenant = props.getScheduler().getMaxQueuedPerTenant();
+    }
+
+    /**
+     * Schedules the given work on behalf of the tenant to run once its fair turn comes.
+     *
+     * @param tenant the resolved tenant the work belongs to
+     * @param work   the work to run
+     * @param <T>    the type of the result
+     * @return a future completed with the result of the work, or with the exception it threw
+     * @throws ResponseStatusException with status 429 if the tenant already has too many waiting tasks,
+     *                                 or with status 503 if the scheduler has been shut down
+     */
+    public <T> CompletableFuture<T> run(SentisquareProperties.Tenant tenant, Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledTask task = enqueue(tenant, () -> {
+            try {
+                result.complete(work.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        try {
+            // Each submitted runner starts whichever waiting task is due, not necessarily this one
+            workers.execute(this::runNext);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                if (pending.remove(task)) {
+                    dequeued(task);
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Scheduler is shut down", e);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a task to the waiting queue, stamping it with its virtual finish time.
+     *
+     * @param tenant the tenant the task belongs to
+     * @param task   the task to add
+     * @return the queued task
+     */
+    private synchronized ScheduledTask enqueue(SentisquareProperties.Tenant tenant, Runnable task) {
+        String tenantId = tenant.getId();
+        int waiting = queued.getOrDefault(tenantId, 0);
+        if (waiting >= maxQueuedPerTenant) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many pending documents for tenant " + tenantId);
+        }
+
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(tenantId, 0.0));
+        double finish = start + 1.0 / tenant.getWeight();
+        lastFinish.put(tenantId, finish);
+        queued.put(tenantId, waiting + 1);
+        ScheduledTask scheduled = new ScheduledTask(tenantId, finish, sequence++, task);
+        pending.add(scheduled);
+        return scheduled;
+    }
+
+    /**
+     * Takes the waiting task with the lowest virtual finish time and runs it.
+     */
+    private void runNext() {
+        ScheduledTask next;
+        synchronized (this) {
+            next = pending.poll();
+            if (next == null) {
+                return;
+            }
+            virtualTime = next.finish();
+            dequeued(next);
+        }
+        next.task().run();
+    }
+
+    /**
+     * Updates the bookkeeping after a task left the waiting queue - must be called holding this.
+     *
+     * @param task the task removed from the queue
+     */
+    private void dequeued(ScheduledTask task) {
+        queued.merge(task.tenantId(), -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+        if (pending.isEmpty()) {
+            // Idle - forget finish times so tenants start over on equal terms
+            lastFinish.clear();
+            virtualTime = 0;
+        }
+    }
+
+    /**
+     * Returns the current virtual time.
+     *
+     * @return the finish time of the task started most recently, 0 when the queue has been idle
+     */
+    synchronized double virtualTime() {
+        return virtualTime;
+    }
+
+    /**
+     * Stops the worker threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Task waiting for its turn.
+     *
+     * @param tenantId the tenant the task belongs to
+     * @param finish   the virtual finish time
+     * @param sequence the order of submission
+     * @param task     the work to run
+     */
+    private record ScheduledTask(String tenantId, double finish, long sequence, Runnable task)
+            implements Comparable<ScheduledTask> {
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            int byFinish = Double.compare(finish, other.finish);
+            return byFinish != 0 ? byFinish : Long.compare(sequence, other.sequence);
+        }
+    }
+}
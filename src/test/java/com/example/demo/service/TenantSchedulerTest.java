@@ -0,0 +1,188 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.example.demo.SentisquareProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Tests for the weighted fair queuing in TenantScheduler.
+ * The scheduler runs with a single worker that is held by a gate task
+ * while the tasks under test are queued, so their start order is deterministic.
+ */
+class TenantSchedulerTest {
+
+    private final SentisquareProperties props = new SentisquareProperties();
+
+    private TenantScheduler scheduler;
+
+    /**
+     * Releases the gate task occupying the only worker
+     */
+    private final CountDownLatch openGate = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        openGate.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void startsTasksInProportionToWeight() throws Exception {
+        createScheduler(Map.of("a", 2, "b", 1), 100);
+        List<String> starts = Collections.synchronizedList(new ArrayList<>());
+
+        holdWorker();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(scheduler.run(tenant("a"), () -> starts.add("a")));
+            results.add(scheduler.run(tenant("b"), () -> starts.add("b")));
+        }
+        openGate.countDown();
+        awaitAll(results);
+
+        List<String> firstSix = starts.subList(0, 6);
+        assertEquals(4, Collections.frequency(firstSix, "a"));
+        assertEquals(2, Collections.frequency(firstSix, "b"));
+    }
+
+    @Test
+    void lateArrivalRunsBeforeBacklog() throws Exception {
+        createScheduler(Map.of("a", 1, "b", 1), 100);
+        List<String> starts = Collections.synchronizedList(new ArrayList<>());
+
+        holdWorker();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(scheduler.run(tenant("a"), () -> starts.add("a")));
+        }
+        results.add(scheduler.run(tenant("b"), () -> starts.add("b")));
+        openGate.countDown();
+        awaitAll(results);
+
+        assertEquals(List.of("a", "b", "a", "a", "a", "a"), starts);
+    }
+
+    @Test
+    void rejectsTasksBeyondQueueLimitUntilQueueDrains() throws Exception {
+        createScheduler(Map.of("a", 1), 2);
+
+        holdWorker();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        results.add(scheduler.run(tenant("a"), () -> "first"));
+        results.add(scheduler.run(tenant("a"), () -> "second"));
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> scheduler.run(tenant("a"), () -> "third"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+
+        openGate.countDown();
+        awaitAll(results);
+
+        // The counter went back down, so the tenant gets its full limit again
+        CompletableFuture<String> afterDrain = scheduler.run(tenant("a"), () -> "again");
+        assertEquals("again", afterDrain.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void resetsVirtualTimeWhenQueueGoesIdle() throws Exception {
+        createScheduler(Map.of("a", 1), 100);
+
+        holdWorker();
+        CompletableFuture<Double> first = scheduler.run(tenant("a"), scheduler::virtualTime);
+        CompletableFuture<Double> second = scheduler.run(tenant("a"), scheduler::virtualTime);
+        openGate.countDown();
+
+        // The first task started with the second still waiting, so virtual time had advanced
+        assertTrue(first.get(5, TimeUnit.SECONDS) > 0);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, scheduler.virtualTime());
+    }
+
+    @Test
+    void passesExceptionsToCaller() {
+        createScheduler(Map.of("a", 1), 100);
+        IllegalStateException failure = new IllegalStateException("classification failed");
+
+        CompletableFuture<String> result = scheduler.run(tenant("a"), () -> {
+            throw failure;
+        });
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void rejectsTasksAfterShutdown() {
+        createScheduler(Map.of("a", 1), 1);
+        scheduler.shutdown();
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> scheduler.run(tenant("a"), () -> "late"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+
+        // The rejected task left the queue, so it does not count against the tenant's limit
+        ResponseStatusException again = assertThrows(ResponseStatusException.class,
+                () -> scheduler.run(tenant("a"), () -> "later"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, again.getStatusCode());
+    }
+
+    /**
+     * Creates a single-worker scheduler for tenants with the given weights.
+     *
+     * @param weights            tenant weights keyed by tenant ID
+     * @param maxQueuedPerTenant the queue limit per tenant
+     */
+    private void createScheduler(Map<String, Integer> weights, int maxQueuedPerTenant) {
+        weights.forEach((id, weight) -> {
+            SentisquareProperties.Tenant tenant = new SentisquareProperties.Tenant();
+            tenant.setWeight(weight);
+            props.getTenants().put(id, tenant);
+        });
+        props.getTenants().put("gate", new SentisquareProperties.Tenant());
+        props.getScheduler().setWorkers(1);
+        props.getScheduler().setMaxQueuedPerTenant(maxQueuedPerTenant);
+        scheduler = new TenantScheduler(props);
+    }
+
+    /**
+     * Occupies the only worker until the gate is opened and waits until it has started.
+     */
+    private void holdWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.run(tenant("gate"), () -> {
+            started.countDown();
+            try {
+                return openGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private SentisquareProperties.Tenant tenant(String id) {
+        return props.resolveTenant(id);
+    }
+
+    private static void awaitAll(List<? extends CompletableFuture<?>> results) throws Exception {
+        for (CompletableFuture<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+    }
+}